@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "shortlink")
 @Getter
@@ -12,4 +15,7 @@ import org.springframework.context.annotation.Configuration;
 public class ShortlinkProperties {
     private String baseUrl;
     private int maxConcurrentRequests;
+    private int tenantMaxConcurrentRequests;
+    private Integer defaultTenantMaxConcurrentRequests;
+    private List<TenantProperties> tenants = new ArrayList<>();
 }
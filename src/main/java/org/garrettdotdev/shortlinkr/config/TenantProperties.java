@@ -0,0 +1,14 @@
+package org.garrettdotdev.shortlinkr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents an additional short domain served by this instance
+ */
+@Getter
+@Setter
+public class TenantProperties {
+    private String baseUrl;
+    private Integer maxConcurrentRequests;
+}
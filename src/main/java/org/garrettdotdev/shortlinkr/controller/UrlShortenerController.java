@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -22,15 +23,16 @@ public class UrlShortenerController {
     }
 
     /**
-     * Encodes a long URL into a short URL
+     * Encodes a long URL into a short URL on the tenant serving the request host
      *
      * @param request the request containing the long URL
+     * @param servletRequest the underlying HTTP request, used to resolve the tenant
      * @return the short URL
      */
     @PostMapping("/encode")
-    public ResponseEntity<Map<String, String>> encode(@Valid @RequestBody UrlRequest request) {
+    public ResponseEntity<Map<String, String>> encode(@Valid @RequestBody UrlRequest request, HttpServletRequest servletRequest) {
         String longUrl = request.getUrl();
-        String shortUrl = urlShortenerService.encode(longUrl);
+        String shortUrl = urlShortenerService.encode(servletRequest.getServerName(), longUrl);
         return ResponseEntity.ok(Map.of("url", shortUrl));
     }
 
@@ -0,0 +1,23 @@
+package org.garrettdotdev.shortlinkr.service;
+
+import lombok.Getter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Holds the URL mappings and concurrency quota for a single short domain
+ */
+@Getter
+final class Tenant {
+
+    private final String baseUrl;
+    private final ConcurrentHashMap<String, String> urlMap;
+    private final Semaphore semaphore;
+
+    Tenant(String baseUrl, int maxConcurrentRequests) {
+        this.baseUrl = baseUrl;
+        this.urlMap = new ConcurrentHashMap<>();
+        this.semaphore = new Semaphore(maxConcurrentRequests);
+    }
+}
@@ -0,0 +1,131 @@
+package org.garrettdotdev.shortlinkr.service;
+
+import org.garrettdotdev.shortlinkr.config.ShortlinkProperties;
+import org.garrettdotdev.shortlinkr.config.TenantProperties;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves the tenant for a host. The host lookup table is built once at startup
+ * and never modified, so resolution is a single map lookup on the request path.
+ */
+final class TenantRegistry {
+
+    private final Tenant defaultTenant;
+    private final Map<String, Tenant> tenantsByHost;
+
+    TenantRegistry(ShortlinkProperties shortlinkProperties) {
+        int tenantMaxConcurrentRequests = shortlinkProperties.getTenantMaxConcurrentRequests();
+        if (tenantMaxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("Tenant max concurrent requests must be positive");
+        }
+        Map<String, Tenant> tenants = new HashMap<>();
+
+        String baseUrl = shortlinkProperties.getBaseUrl();
+        this.defaultTenant = register(tenants, baseUrl,
+                quota(shortlinkProperties.getDefaultTenantMaxConcurrentRequests(), tenantMaxConcurrentRequests, baseUrl));
+
+        for (TenantProperties tenantProperties : shortlinkProperties.getTenants()) {
+            register(tenants, tenantProperties.getBaseUrl(),
+                    quota(tenantProperties.getMaxConcurrentRequests(), tenantMaxConcurrentRequests, tenantProperties.getBaseUrl()));
+        }
+
+        this.tenantsByHost = Map.copyOf(tenants);
+    }
+
+    /**
+     * Returns the tenant serving the given host, falling back to the default tenant
+     *
+     * @param host the request host, may be null
+     * @return the matching tenant, or the default tenant
+     */
+    Tenant forHost(String host) {
+        if (host == null) {
+            return defaultTenant;
+        }
+        return tenantsByHost.getOrDefault(host.toLowerCase(Locale.ROOT), defaultTenant);
+    }
+
+    /**
+     * Returns the tenant owning the given short URL
+     *
+     * @param shortUrl the short URL
+     * @return the matching tenant, or null if no tenant serves the URL's host
+     */
+    Tenant forShortUrl(String shortUrl) {
+        String host = hostOf(shortUrl);
+        return host == null ? null : tenantsByHost.get(host);
+    }
+
+    /**
+     * Returns a tenant's configured quota, or the per-tenant default when none is set
+     *
+     * @param maxConcurrentRequests the configured quota, may be null
+     * @param tenantMaxConcurrentRequests the per-tenant default quota
+     * @param baseUrl the tenant's base URL, used in the error message
+     * @return the tenant's concurrency quota
+     */
+    private static int quota(Integer maxConcurrentRequests, int tenantMaxConcurrentRequests, String baseUrl) {
+        if (maxConcurrentRequests == null) {
+            return tenantMaxConcurrentRequests;
+        }
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("Tenant max concurrent requests must be positive: " + baseUrl);
+        }
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Creates a tenant with its scheme and host lower-cased and adds it to the lookup table
+     *
+     * @param tenants the lookup table being built
+     * @param baseUrl the configured base URL
+     * @param maxConcurrentRequests the tenant's concurrency quota
+     * @return the registered tenant
+     */
+    private static Tenant register(Map<String, Tenant> tenants, String baseUrl, int maxConcurrentRequests) {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            throw new IllegalArgumentException("Tenant base URL must not be empty");
+        }
+        String host = hostOf(baseUrl);
+        if (host == null || host.isEmpty()) {
+            throw new IllegalArgumentException("Invalid tenant base URL: " + baseUrl);
+        }
+        int hostEnd = hostEnd(baseUrl, baseUrl.indexOf("://") + 3);
+        String normalizedBaseUrl = baseUrl.substring(0, hostEnd).toLowerCase(Locale.ROOT) + baseUrl.substring(hostEnd);
+        Tenant tenant = new Tenant(normalizedBaseUrl, maxConcurrentRequests);
+        if (tenants.putIfAbsent(host, tenant) != null) {
+            throw new IllegalArgumentException("Duplicate tenant host: " + host);
+        }
+        return tenant;
+    }
+
+    /**
+     * Extracts the lower-cased host from a URL without the cost of full URI parsing
+     *
+     * @param url the URL
+     * @return the host, or null if the URL has no scheme separator
+     */
+    static String hostOf(String url) {
+        int start = url.indexOf("://");
+        if (start < 0) {
+            return null;
+        }
+        start += 3;
+        return url.substring(start, hostEnd(url, start)).toLowerCase(Locale.ROOT);
+    }
+
+    private static int hostEnd(String url, int start) {
+        int end = start;
+        while (end < url.length()) {
+            char c = url.charAt(end);
+            if (c == '/' || c == ':' || c == '?' || c == '#') {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+}
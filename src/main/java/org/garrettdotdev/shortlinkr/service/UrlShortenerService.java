@@ -7,7 +7,6 @@ import org.springframework.stereotype.Service;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Base64;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 
 import org.slf4j.Logger;
@@ -16,16 +15,15 @@ import org.slf4j.LoggerFactory;
 @Service
 public class UrlShortenerService {
 
-    private final ConcurrentHashMap<String, String> urlMap;
-    private final String baseUrl;
+    private final TenantRegistry tenants;
     private final ThreadLocal<Long> delay = ThreadLocal.withInitial(() -> 0L);
+    private final ThreadLocal<Runnable> onPermitsAcquired = new ThreadLocal<>();
     private final Semaphore semaphore;
 
     private static final Logger logger = LoggerFactory.getLogger(UrlShortenerService.class);
 
     public UrlShortenerService(ShortlinkProperties shortlinkProperties) {
-        this.urlMap = new ConcurrentHashMap<>();
-        this.baseUrl = shortlinkProperties.getBaseUrl();
+        this.tenants = new TenantRegistry(shortlinkProperties);
         this.semaphore = new Semaphore(shortlinkProperties.getMaxConcurrentRequests());
     }
 
@@ -38,17 +36,40 @@ public class UrlShortenerService {
     }
 
     /**
-     * Encodes a long URL into a short URL
+     * Sets a callback run on the current thread once it holds its permits, so tests can
+     * hold permits open without relying on timing
+     *
+     * @param callback the callback to run, or null to clear it
+     */
+    void setOnPermitsAcquired(Runnable callback) {
+        onPermitsAcquired.set(callback);
+    }
+
+    /**
+     * Encodes a long URL into a short URL on the default tenant
      *
      * @param longUrl the long URL to encode
      * @return the short URL
      */
     public String encode(String longUrl) {
-        if(!semaphore.tryAcquire()) {
-            logger.debug("Semaphore permits: {}", semaphore.availablePermits());
-            throw new IllegalStateException("Too many concurrent requests");
-        }
+        return encode(null, longUrl);
+    }
+
+    /**
+     * Encodes a long URL into a short URL on the tenant serving the given host
+     *
+     * @param host the host the request was made to, or null for the default tenant
+     * @param longUrl the long URL to encode
+     * @return the short URL
+     */
+    public String encode(String host, String longUrl) {
+        Tenant tenant = tenants.forHost(host);
+        acquire(tenant);
         try {
+            Runnable callback = onPermitsAcquired.get();
+            if (callback != null) {
+                callback.run();
+            }
             if(this.delay.get() > 0) {
                 logger.debug("Encode delaying for {} ms", this.delay.get());
                 Thread.sleep(this.delay.get());
@@ -65,13 +86,12 @@ public class UrlShortenerService {
                 throw new IllegalArgumentException("Invalid URL");
             }
             String shortCode = Base64.getUrlEncoder().encodeToString(longUrl.getBytes()).substring(0, 6);
-            urlMap.put(shortCode, longUrl);
-            return baseUrl + "/" + shortCode;
+            tenant.getUrlMap().put(shortCode, longUrl);
+            return tenant.getBaseUrl() + "/" + shortCode;
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         } finally {
-            semaphore.release();
-            logger.debug("Released semaphore permit. Available permits: {}", semaphore.availablePermits());
+            release(tenant);
         }
     }
 
@@ -82,29 +102,62 @@ public class UrlShortenerService {
      * @return the long URL
      */
     public String decode(String shortUrl) {
-        if(!semaphore.tryAcquire()) {
-            logger.debug("Semaphore permits: {}", semaphore.availablePermits());
-            throw new IllegalStateException("Too many concurrent requests");
+        if (shortUrl == null || shortUrl.isBlank()) {
+            throw new IllegalArgumentException("Cannot decode empty URL");
+        }
+        Tenant tenant = tenants.forShortUrl(shortUrl);
+        if (tenant == null) {
+            throw new IllegalArgumentException("Invalid URL");
         }
+        String baseUrl = tenant.getBaseUrl();
+        acquire(tenant);
         try {
+            Runnable callback = onPermitsAcquired.get();
+            if (callback != null) {
+                callback.run();
+            }
             if(this.delay.get() > 0) {
                 logger.debug("Decode delaying for {} ms", this.delay.get());
                 Thread.sleep(this.delay.get());
             }
-            if (shortUrl == null || shortUrl.isBlank()) {
-                throw new IllegalArgumentException("Cannot decode empty URL");
-            }
-            if (!shortUrl.startsWith(baseUrl)) {
+            // Scheme and host are case-insensitive, so match the prefix ignoring case
+            if (!shortUrl.regionMatches(true, 0, baseUrl, 0, baseUrl.length())) {
                 throw new IllegalArgumentException("Invalid URL");
             }
-            String shortCode = shortUrl.replace(baseUrl + "/", "");
-            return urlMap.getOrDefault(shortCode, "URL not found");
+            String shortCode = shortUrl.substring(baseUrl.length());
+            if (shortCode.startsWith("/")) {
+                shortCode = shortCode.substring(1);
+            }
+            return tenant.getUrlMap().getOrDefault(shortCode, "URL not found");
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         } finally {
+            release(tenant);
+        }
+    }
+
+    /**
+     * Takes a process-wide permit, then a permit from the tenant's own quota
+     *
+     * @param tenant the tenant serving the request
+     */
+    private void acquire(Tenant tenant) {
+        if(!semaphore.tryAcquire()) {
+            logger.debug("Semaphore permits: {}", semaphore.availablePermits());
+            throw new IllegalStateException("Too many concurrent requests");
+        }
+        Semaphore tenantSemaphore = tenant.getSemaphore();
+        if(!tenantSemaphore.tryAcquire()) {
             semaphore.release();
-            logger.debug("Released semaphore permit. Available permits: {}", semaphore.availablePermits());
+            logger.debug("Tenant {} semaphore permits: {}", tenant.getBaseUrl(), tenantSemaphore.availablePermits());
+            throw new IllegalStateException("Too many concurrent requests");
         }
     }
 
+    private void release(Tenant tenant) {
+        tenant.getSemaphore().release();
+        semaphore.release();
+        logger.debug("Released semaphore permit. Available permits: {}", semaphore.availablePermits());
+    }
+
 }
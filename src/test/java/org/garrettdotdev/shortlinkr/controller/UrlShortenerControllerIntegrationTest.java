@@ -24,7 +24,7 @@ import static org.hamcrest.Matchers.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-@SpringBootTest
+@SpringBootTest(properties = "shortlink.tenants[0].base-url=http://brand.ly")
 @AutoConfigureMockMvc
 public class UrlShortenerControllerIntegrationTest {
 
@@ -52,6 +52,44 @@ public class UrlShortenerControllerIntegrationTest {
                 .andExpect(jsonPath("$.url", startsWith(shortlinkProperties.getBaseUrl() + "/")));
     }
 
+    @Test
+    public void testEncodeForTenantHost() throws Exception {
+        mockMvc.perform(post("/encode")
+                .with(request -> {
+                    request.setServerName("brand.ly");
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"url\":\"http://example.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.url", startsWith("http://brand.ly/")));
+    }
+
+    @Test
+    public void testDecodeForTenantHost() throws Exception {
+        String longUrl = "http://example.com";
+        String shortUrl = urlShortenerService.encode("brand.ly", longUrl);
+
+        mockMvc.perform(post("/decode")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"url\":\"" + shortUrl + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.url", is(longUrl)));
+    }
+
+    @Test
+    public void testDecodeTenantCodeUnderDefaultTenant() throws Exception {
+        // Uses a scheme no other test encodes so the short code cannot collide on the default tenant
+        String shortUrl = urlShortenerService.encode("brand.ly", "ftp://example.com/partition");
+        String shortCode = shortUrl.substring(shortUrl.lastIndexOf('/') + 1);
+
+        mockMvc.perform(post("/decode")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"url\":\"" + shortlinkProperties.getBaseUrl() + "/" + shortCode + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.url", is("URL not found")));
+    }
+
     @Test
     public void testEncodeInvalidUrl() throws Exception {
         mockMvc.perform(post("/encode")
@@ -117,7 +155,7 @@ public class UrlShortenerControllerIntegrationTest {
 
     @Test
     public void testConcurrencyControlWithinLimit() throws Exception {
-        int maxConcurrentRequests = shortlinkProperties.getMaxConcurrentRequests();
+        int maxConcurrentRequests = shortlinkProperties.getTenantMaxConcurrentRequests();
 
         try (ExecutorService executor = Executors.newFixedThreadPool(maxConcurrentRequests)) {
             IntStream.range(0, maxConcurrentRequests).forEach(i ->
@@ -142,7 +180,7 @@ public class UrlShortenerControllerIntegrationTest {
 
     @Test
     public void testConcurrencyControlExceedsLimit() throws Exception {
-        int maxConcurrentRequests = shortlinkProperties.getMaxConcurrentRequests();
+        int maxConcurrentRequests = shortlinkProperties.getTenantMaxConcurrentRequests();
         int extraRequests = 5;  // Simulate requests exceeding the limit
 
         try (ExecutorService executor = Executors.newFixedThreadPool(maxConcurrentRequests + extraRequests)) {
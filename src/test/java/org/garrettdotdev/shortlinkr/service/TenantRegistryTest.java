@@ -0,0 +1,109 @@
+package org.garrettdotdev.shortlinkr.service;
+
+import org.garrettdotdev.shortlinkr.config.ShortlinkProperties;
+import org.garrettdotdev.shortlinkr.config.TenantProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TenantRegistryTest {
+
+    @Test
+    public void testHostOfWithPort() {
+        assertEquals("brand.ly", TenantRegistry.hostOf("http://Brand.ly:8080/abc123"));
+    }
+
+    @Test
+    public void testHostOfWithQueryAndNoPath() {
+        assertEquals("brand.ly", TenantRegistry.hostOf("http://brand.ly?code=abc123"));
+    }
+
+    @Test
+    public void testHostOfWithoutScheme() {
+        assertNull(TenantRegistry.hostOf("brand.ly/abc123"));
+    }
+
+    @Test
+    public void testBlankTenantBaseUrl() {
+        ShortlinkProperties properties = properties(" ", null);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new TenantRegistry(properties));
+        assertEquals("Tenant base URL must not be empty", exception.getMessage());
+    }
+
+    @Test
+    public void testTenantBaseUrlWithoutScheme() {
+        ShortlinkProperties properties = properties("brand.ly", null);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new TenantRegistry(properties));
+        assertEquals("Invalid tenant base URL: brand.ly", exception.getMessage());
+    }
+
+    @Test
+    public void testTenantMaxConcurrentRequestsOverride() {
+        TenantRegistry registry = new TenantRegistry(properties("http://brand.ly", 3));
+        assertEquals(3, registry.forHost("brand.ly").getSemaphore().availablePermits());
+    }
+
+    @Test
+    public void testTenantMaxConcurrentRequestsFallsBackToTenantDefault() {
+        TenantRegistry registry = new TenantRegistry(properties("http://brand.ly", null));
+        assertEquals(4, registry.forHost("brand.ly").getSemaphore().availablePermits());
+    }
+
+    @Test
+    public void testDefaultTenantMaxConcurrentRequestsFallsBackToTenantDefault() {
+        TenantRegistry registry = new TenantRegistry(properties("http://brand.ly", null));
+        assertEquals(4, registry.forHost(null).getSemaphore().availablePermits());
+    }
+
+    @Test
+    public void testDefaultTenantMaxConcurrentRequestsOverride() {
+        ShortlinkProperties properties = properties("http://brand.ly", null);
+        properties.setDefaultTenantMaxConcurrentRequests(6);
+        TenantRegistry registry = new TenantRegistry(properties);
+        assertEquals(6, registry.forHost(null).getSemaphore().availablePermits());
+        assertEquals(4, registry.forHost("brand.ly").getSemaphore().availablePermits());
+    }
+
+    @Test
+    public void testNonPositiveTenantDefaultMaxConcurrentRequests() {
+        ShortlinkProperties properties = properties("http://brand.ly", null);
+        properties.setTenantMaxConcurrentRequests(0);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new TenantRegistry(properties));
+        assertEquals("Tenant max concurrent requests must be positive", exception.getMessage());
+    }
+
+    @Test
+    public void testNonPositiveDefaultTenantMaxConcurrentRequests() {
+        ShortlinkProperties properties = properties("http://brand.ly", null);
+        properties.setDefaultTenantMaxConcurrentRequests(0);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new TenantRegistry(properties));
+        assertEquals("Tenant max concurrent requests must be positive: http://short.est", exception.getMessage());
+    }
+
+    @Test
+    public void testNonPositiveTenantMaxConcurrentRequests() {
+        for (int maxConcurrentRequests : new int[] {0, -1}) {
+            ShortlinkProperties properties = properties("http://brand.ly", maxConcurrentRequests);
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new TenantRegistry(properties));
+            assertEquals("Tenant max concurrent requests must be positive: http://brand.ly", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testBaseUrlSchemeAndHostAreLowerCased() {
+        TenantRegistry registry = new TenantRegistry(properties("HTTPS://Brand.ly/Links", null));
+        assertEquals("https://brand.ly/Links", registry.forHost("brand.ly").getBaseUrl());
+    }
+
+    private ShortlinkProperties properties(String tenantBaseUrl, Integer tenantMaxConcurrentRequests) {
+        ShortlinkProperties properties = new ShortlinkProperties();
+        properties.setBaseUrl("http://short.est");
+        properties.setMaxConcurrentRequests(10);
+        properties.setTenantMaxConcurrentRequests(4);
+        TenantProperties tenant = new TenantProperties();
+        tenant.setBaseUrl(tenantBaseUrl);
+        tenant.setMaxConcurrentRequests(tenantMaxConcurrentRequests);
+        properties.getTenants().add(tenant);
+        return properties;
+    }
+}
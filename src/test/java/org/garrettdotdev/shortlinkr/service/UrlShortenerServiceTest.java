@@ -1,6 +1,7 @@
 package org.garrettdotdev.shortlinkr.service;
 
 import org.garrettdotdev.shortlinkr.config.ShortlinkProperties;
+import org.garrettdotdev.shortlinkr.config.TenantProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -226,4 +227,142 @@ public class UrlShortenerServiceTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> urlShortenerService.decode(shortUrl));
         assertEquals("Cannot decode empty URL", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEncodeForTenantHost() {
+        UrlShortenerService service = new UrlShortenerService(multiTenantProperties());
+        String shortUrl = service.encode("BRAND.ly", "http://example.com");
+        assertTrue(shortUrl.startsWith("http://brand.ly/"));
+        assertEquals("http://example.com", service.decode(shortUrl));
+    }
+
+    @Test
+    public void testEncodeForUnknownHostUsesDefaultTenant() {
+        UrlShortenerService service = new UrlShortenerService(multiTenantProperties());
+        String shortUrl = service.encode("localhost", "http://example.com");
+        assertTrue(shortUrl.startsWith(shortlinkProperties.getBaseUrl() + "/"));
+    }
+
+    @Test
+    public void testDecodeWithDifferentHostCasing() {
+        ShortlinkProperties properties = multiTenantProperties();
+        properties.getTenants().getFirst().setBaseUrl("HTTPS://Brand.ly");
+        UrlShortenerService service = new UrlShortenerService(properties);
+        String shortUrl = service.encode("brand.ly", "http://example.com");
+        assertTrue(shortUrl.startsWith("https://brand.ly/"));
+        String shortCode = shortUrl.substring(shortUrl.lastIndexOf('/') + 1);
+        assertEquals("http://example.com", service.decode("https://brand.ly/" + shortCode));
+        assertEquals("http://example.com", service.decode("https://BRAND.LY/" + shortCode));
+    }
+
+    @Test
+    public void testTenantStoresAreIsolated() {
+        UrlShortenerService service = new UrlShortenerService(multiTenantProperties());
+        String shortUrl = service.encode("brand.ly", "http://example.com");
+        String shortCode = shortUrl.substring(shortUrl.lastIndexOf('/') + 1);
+        assertEquals("URL not found", service.decode("http://other.co/" + shortCode));
+        assertEquals("URL not found", service.decode(shortlinkProperties.getBaseUrl() + "/" + shortCode));
+    }
+
+    @Test
+    public void testSaturatedTenantDoesNotBlockOtherTenants() throws Exception {
+        UrlShortenerService service = new UrlShortenerService(multiTenantProperties());
+        int tenantMaxConcurrentRequests = shortlinkProperties.getTenantMaxConcurrentRequests();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(tenantMaxConcurrentRequests)) {
+            List<Future<String>> holders = holdPermits(executorService, service, "brand.ly", tenantMaxConcurrentRequests, release);
+            try {
+                IllegalStateException exception = assertThrows(IllegalStateException.class, () -> service.encode("brand.ly", "http://example.com"));
+                assertEquals("Too many concurrent requests", exception.getMessage());
+                assertTrue(service.encode("other.co", "http://example.com").startsWith("http://other.co/"));
+                assertTrue(service.encode("http://example.com").startsWith(shortlinkProperties.getBaseUrl() + "/"));
+            } finally {
+                release.countDown();
+            }
+            for (Future<String> holder : holders) {
+                assertTrue(holder.get().startsWith("http://brand.ly/"));
+            }
+        }
+    }
+
+    @Test
+    public void testGlobalLimitCapsAllTenants() throws Exception {
+        ShortlinkProperties properties = multiTenantProperties();
+        properties.setMaxConcurrentRequests(2);
+        properties.setTenantMaxConcurrentRequests(2);
+        UrlShortenerService service = new UrlShortenerService(properties);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(2)) {
+            List<Future<String>> holders = holdPermits(executorService, service, "brand.ly", 2, release);
+            try {
+                IllegalStateException exception = assertThrows(IllegalStateException.class, () -> service.encode("other.co", "http://example.com"));
+                assertEquals("Too many concurrent requests", exception.getMessage());
+            } finally {
+                release.countDown();
+            }
+            for (Future<String> holder : holders) {
+                assertTrue(holder.get().startsWith("http://brand.ly/"));
+            }
+        }
+        assertTrue(service.encode("other.co", "http://example.com").startsWith("http://other.co/"));
+    }
+
+    @Test
+    public void testDuplicateTenantHost() {
+        ShortlinkProperties properties = multiTenantProperties();
+        TenantProperties duplicate = new TenantProperties();
+        duplicate.setBaseUrl("https://Brand.ly");
+        properties.getTenants().add(duplicate);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new UrlShortenerService(properties));
+        assertEquals("Duplicate tenant host: brand.ly", exception.getMessage());
+    }
+
+    /**
+     * Submits encodes on the given host that each hold their permits until {@code release} is counted down,
+     * returning once all of them hold their permits
+     */
+    private List<Future<String>> holdPermits(ExecutorService executorService, UrlShortenerService service, String host,
+                                             int count, CountDownLatch release) throws InterruptedException {
+        CountDownLatch acquired = new CountDownLatch(count);
+        List<Future<String>> holders = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            holders.add(executorService.submit(() -> {
+                service.setOnPermitsAcquired(() -> {
+                    acquired.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                try {
+                    return service.encode(host, "http://example.com");
+                } finally {
+                    service.setOnPermitsAcquired(null);
+                }
+            }));
+        }
+
+        if (!acquired.await(5, TimeUnit.SECONDS)) {
+            release.countDown();
+            fail("Permit holders did not acquire their permits");
+        }
+        return holders;
+    }
+
+    private ShortlinkProperties multiTenantProperties() {
+        ShortlinkProperties properties = new ShortlinkProperties();
+        properties.setBaseUrl(shortlinkProperties.getBaseUrl());
+        properties.setMaxConcurrentRequests(shortlinkProperties.getMaxConcurrentRequests());
+        properties.setTenantMaxConcurrentRequests(shortlinkProperties.getTenantMaxConcurrentRequests());
+        for (String baseUrl : List.of("http://brand.ly", "http://other.co")) {
+            TenantProperties tenant = new TenantProperties();
+            tenant.setBaseUrl(baseUrl);
+            properties.getTenants().add(tenant);
+        }
+        return properties;
+    }
+}